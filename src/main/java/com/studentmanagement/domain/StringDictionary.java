@@ -0,0 +1,46 @@
+package com.studentmanagement.domain;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps a small set of repeating strings (programmes, statuses) to short codes,
+ * so thousands of Student rows share one String instance per distinct value.
+ * Lookups by code are lock-free; only adding a new value takes the lock.
+ */
+public class StringDictionary {
+    public static final short NONE = -1;
+
+    private final Map<String, Short> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[8];
+    private int size;
+
+    public short encode(String value) {
+        if (value == null) return NONE;
+        Short code = codes.get(value);
+        return code != null ? code : add(value);
+    }
+
+    public String decode(short code) {
+        return code == NONE ? null : values[code];
+    }
+
+    private synchronized short add(String value) {
+        Short existing = codes.get(value);
+        if (existing != null) return existing;
+        if (size == Short.MAX_VALUE) {
+            throw new IllegalStateException("Too many distinct values for dictionary: " + value);
+        }
+
+        String[] current = values;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[size] = value;
+        values = current; // Publish the array before the code becomes visible to readers
+        short code = (short) size++;
+        codes.put(value, code);
+        return code;
+    }
+}
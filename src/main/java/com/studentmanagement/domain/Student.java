@@ -3,19 +3,32 @@ package com.studentmanagement.domain;
 import java.time.LocalDate;
 
 public class Student {
+    // Shared by every Student so each distinct programme/status string is held once
+    private static final StringDictionary PROGRAMMES = new StringDictionary();
+    private static final StringDictionary STATUSES = new StringDictionary();
+
+    // Outside the dictionary's 0..Short.MAX_VALUE codes and NONE, so it never collides with a real status
+    private static final short STATUS_FROM_GPA = -2; // Status follows the GPA rule below
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    // Set from config.properties (atRiskThreshold) so every screen agrees on who is Inactive
+    private static volatile double inactiveBelow = 2.0;
+
+    // Compact layout: repeating strings become short codes, the date an epoch day,
+    // and email/status are only stored when they differ from what can be derived
     private String studentId;
     private String fullName;
-    private String email;
-    private int level;
-    private double gpa;
+    private String email; // null = derived from fullName
     private String phoneNumber;
-    private String programme;
-    private LocalDate dateAdded;
-    private String status;
+    private double gpa;
+    private int dateAdded;
+    private short programme = StringDictionary.NONE;
+    private short level;
+    private short status = STATUS_FROM_GPA;
 
     // 1. Default Constructor
     public Student() {
-        this.dateAdded = LocalDate.now(); // Default to today to prevent null crashes
+        this.dateAdded = (int) LocalDate.now().toEpochDay(); // Default to today to prevent null crashes
     }
 
     // 2. Full Constructor (Used by Repository when loading existing data)
@@ -23,13 +36,13 @@ public class Student {
                    double gpa, String phoneNumber, String programme, LocalDate dateAdded, String status) {
         this.studentId = studentId;
         this.fullName = fullName;
-        this.email = email;
-        this.level = level;
-        this.gpa = gpa;
+        this.level = (short) level;
+        this.gpa = toHundredths(gpa);
         this.phoneNumber = phoneNumber;
-        this.programme = programme;
-        this.dateAdded = (dateAdded != null) ? dateAdded : LocalDate.now();
-        this.status = status;
+        this.programme = PROGRAMMES.encode(programme);
+        this.dateAdded = (int) ((dateAdded != null) ? dateAdded : LocalDate.now()).toEpochDay();
+        this.email = storedEmail(email);
+        this.status = storedStatus(status);
     }
 
     // 3. UI Constructor (Used by handleAddStudent in Controller)
@@ -38,42 +51,79 @@ public class Student {
                    double gpa, String phoneNumber) {
         this.studentId = studentId;
         this.fullName = fullName;
-        this.programme = programme;
-        this.level = level;
-        this.gpa = gpa;
+        this.programme = PROGRAMMES.encode(programme);
+        this.level = (short) level;
+        this.gpa = toHundredths(gpa);
         this.phoneNumber = phoneNumber;
 
         // AUTOMATIC LOGIC
-        // 1. Generate Email: "first.last@school.edu"
-        this.email = fullName.toLowerCase().trim().replace(" ", ".") + "@school.edu";
-
+        // 1. Email: "first.last@school.edu", derived from the name on demand
         // 2. Set Date: Fixes the LocalDate.toString() null error
-        this.dateAdded = LocalDate.now();
+        this.dateAdded = (int) LocalDate.now().toEpochDay();
+        // 3. Status: Based on threshold, derived from the GPA on demand
+    }
+
+    private static String deriveEmail(String fullName) {
+        return fullName == null ? null : fullName.toLowerCase().trim().replace(" ", ".") + "@school.edu";
+    }
 
-        // 3. Set Status: Based on threshold
-        this.status = (gpa < 2.0) ? "Inactive" : "Active";
+    public static void setInactiveThreshold(double threshold) {
+        inactiveBelow = threshold;
+    }
+
+    public static String statusFor(double gpa) {
+        return (toHundredths(gpa) < inactiveBelow) ? "Inactive" : "Active";
+    }
+
+    // GPAs are kept to two decimals so the status, the stored row and the summary histogram's
+    // hundredth buckets all see the same value
+    private static double toHundredths(double gpa) {
+        return Math.round(gpa * 100) / 100.0;
+    }
+
+    private String statusFromGpa() {
+        return statusFor(gpa);
+    }
+
+    // Shared by the constructor and the setters, which subclasses could override
+    private String storedEmail(String email) {
+        return (email != null && email.equals(deriveEmail(fullName))) ? null : email;
+    }
+
+    // Only remember the status when it overrides the GPA rule
+    private short storedStatus(String status) {
+        return (status != null && status.equals(statusFromGpa())) ? STATUS_FROM_GPA : STATUSES.encode(status);
     }
 
     // Getters and Setters
     public String getStudentId() { return studentId; }
     public void setStudentId(String studentId) { this.studentId = studentId; }
     public String getFullName() { return fullName; }
-    public void setFullName(String fullName) { this.fullName = fullName; }
-    public String getEmail() { return email; }
-    public void setEmail(String email) { this.email = email; }
+    public void setFullName(String fullName) {
+        // The email was fixed when the student was created; keep it across renames
+        if (email == null) email = deriveEmail(this.fullName);
+        this.fullName = fullName;
+        if (email != null && email.equals(deriveEmail(fullName))) email = null;
+    }
+    public String getEmail() { return (email != null) ? email : deriveEmail(fullName); }
+    public void setEmail(String email) { this.email = storedEmail(email); }
     public int getLevel() { return level; }
-    public void setLevel(int level) { this.level = level; }
+    public void setLevel(int level) { this.level = (short) level; }
     public double getGpa() { return gpa; }
     public void setGpa(double gpa) {
-        this.gpa = gpa;
-        this.status = (gpa < 2.0) ? "Inactive" : "Active"; // Auto-update status
+        this.gpa = toHundredths(gpa);
+        this.status = STATUS_FROM_GPA; // Auto-update status
     }
     public String getPhoneNumber() { return phoneNumber; }
     public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
-    public String getProgramme() { return programme; }
-    public void setProgramme(String programme) { this.programme = programme; }
-    public LocalDate getDateAdded() { return dateAdded; }
-    public void setDateAdded(LocalDate dateAdded) { this.dateAdded = dateAdded; }
-    public String getStatus() { return status; }
-    public void setStatus(String status) { this.status = status; }
-}
\ No newline at end of file
+    public String getProgramme() { return PROGRAMMES.decode(programme); }
+    public void setProgramme(String programme) { this.programme = PROGRAMMES.encode(programme); }
+    public LocalDate getDateAdded() { return (dateAdded == NO_DATE) ? null : LocalDate.ofEpochDay(dateAdded); }
+    public void setDateAdded(LocalDate dateAdded) {
+        this.dateAdded = (dateAdded == null) ? NO_DATE : (int) dateAdded.toEpochDay();
+    }
+    public String getStatus() {
+        return (status == STATUS_FROM_GPA) ? statusFromGpa() : STATUSES.decode(status);
+    }
+    public void setStatus(String status) { this.status = storedStatus(status); }
+}
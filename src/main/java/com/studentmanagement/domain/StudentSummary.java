@@ -0,0 +1,77 @@
+package com.studentmanagement.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Totals read from the student_summary and student_gpa_histogram tables.
+ * Everything the dashboard and reports show can be answered from these few
+ * rows without touching the students themselves.
+ */
+public class StudentSummary {
+    public record Group(String programme, int level, String status, long count, double gpaSum) {}
+
+    private static final int MAX_GPA_CENTI = 400;
+
+    private final List<Group> groups = new ArrayList<>();
+    private final long[] gpaHistogram = new long[MAX_GPA_CENTI + 1];
+
+    public void addGroup(Group group) {
+        groups.add(group);
+    }
+
+    public void addGpaCount(int gpaCenti, long count) {
+        if (gpaCenti >= 0 && gpaCenti <= MAX_GPA_CENTI) gpaHistogram[gpaCenti] += count;
+    }
+
+    // Combines per-shard summaries in partitioned mode
+    public void merge(StudentSummary other) {
+        groups.addAll(other.groups);
+        for (int i = 0; i <= MAX_GPA_CENTI; i++) gpaHistogram[i] += other.gpaHistogram[i];
+    }
+
+    public List<Group> getGroups() { return groups; }
+
+    public long getTotal() {
+        long total = 0;
+        for (Group g : groups) total += g.count();
+        return total;
+    }
+
+    public double getAverageGpa() {
+        long total = 0;
+        double sum = 0;
+        for (Group g : groups) {
+            total += g.count();
+            sum += g.gpaSum();
+        }
+        return total == 0 ? 0.0 : sum / total;
+    }
+
+    public long countByLevel(int level) {
+        long count = 0;
+        for (Group g : groups) if (g.level() == level) count += g.count();
+        return count;
+    }
+
+    public long countByStatus(String status) {
+        long count = 0;
+        for (Group g : groups) if (g.status().equals(status)) count += g.count();
+        return count;
+    }
+
+    // Bucket b holds GPAs equal to b/100: the validator allows at most two decimals and
+    // Student rounds to hundredths before anything is stored, so no GPA falls between buckets.
+    // gpa < threshold then holds exactly for buckets b < ceil(threshold * 100); the small
+    // epsilon stops e.g. 1.1 * 100 = 110.00000000000001 from moving the boundary up a bucket.
+    public long countGpaBelow(double threshold) {
+        int limit = (int) Math.ceil(threshold * 100 - 1e-9);
+        long count = 0;
+        for (int i = 0; i < Math.min(limit, MAX_GPA_CENTI + 1); i++) count += gpaHistogram[i];
+        return count;
+    }
+
+    public long countGpaAtLeast(double threshold) {
+        return getTotal() - countGpaBelow(threshold);
+    }
+}
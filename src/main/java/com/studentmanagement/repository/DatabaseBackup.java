@@ -0,0 +1,190 @@
+package com.studentmanagement.repository;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteErrorCode;
+
+/**
+ * Takes online snapshots of data/students.db (and, in partitioned mode, every
+ * programme shard next to it) while the app keeps running.
+ * Backups run on a single background thread, are verified with an integrity
+ * check and rotated so only the newest few are kept in data/backups.
+ */
+public class DatabaseBackup {
+    private static final Path BACKUP_DIR = Paths.get("data", "backups");
+    private static final String PREFIX = "students-";
+    private static final String SHARDS_SUFFIX = "-shards";
+    private static final int MAX_BACKUPS = 7;
+    private static final long INTERVAL_HOURS = 24;
+    private static final long STARTUP_DELAY_MINUTES = 1; // Lets the UI finish loading before the first copy
+    private static final int PAGES_PER_STEP = 100;
+    private static final int STEP_SLEEP_MILLIS = 50;
+    private static final int BUSY_RETRIES = 100;
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "db-backup");
+        t.setDaemon(true); // Never keep the JVM alive just for a backup
+        return t;
+    });
+
+    public static void startScheduledBackups() {
+        scheduler.scheduleAtFixedRate(() -> {
+            try {
+                createBackup();
+            } catch (Exception e) {
+                System.err.println("Scheduled backup failed: " + e.getMessage());
+            }
+        }, firstDelayMinutes(), TimeUnit.HOURS.toMinutes(INTERVAL_HOURS), TimeUnit.MINUTES);
+    }
+
+    // The app is usually closed long before 24 hours of uptime, so the schedule follows the newest
+    // backup on disk: overdue (or none yet) means shortly after startup, otherwise when it turns 24 hours old
+    private static long firstDelayMinutes() {
+        long intervalMinutes = TimeUnit.HOURS.toMinutes(INTERVAL_HOURS);
+        try {
+            Path newest = newestBackup();
+            if (newest == null) return STARTUP_DELAY_MINUTES;
+            long ageMinutes = Duration.between(Files.getLastModifiedTime(newest).toInstant(), Instant.now()).toMinutes();
+            return Math.max(STARTUP_DELAY_MINUTES, intervalMinutes - ageMinutes);
+        } catch (IOException e) {
+            System.err.println("Could not check existing backups: " + e.getMessage());
+            return STARTUP_DELAY_MINUTES;
+        }
+    }
+
+    private static Path newestBackup() throws IOException {
+        List<Path> backups = listBackups();
+        return backups.isEmpty() ? null : backups.get(backups.size() - 1);
+    }
+
+    // Queues a backup on the background thread so callers on the FX thread never wait for it
+    public static CompletableFuture<Path> backupNow() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return createBackup();
+            } catch (SQLException | IOException e) {
+                throw new CompletionException(e);
+            }
+        }, scheduler);
+    }
+
+    public static void shutdown() {
+        scheduler.shutdown();
+    }
+
+    private static Path createBackup() throws SQLException, IOException {
+        Files.createDirectories(BACKUP_DIR);
+        String name = PREFIX + LocalDateTime.now().format(STAMP);
+        Path target = BACKUP_DIR.resolve(name + ".db");
+        Path shardTarget = BACKUP_DIR.resolve(name + SHARDS_SUFFIX);
+
+        try {
+            // 1. In partitioned mode the shards hold the data, so they are copied first
+            if (PartitionedStudentRepository.isEnabled()) {
+                Files.createDirectories(shardTarget);
+                for (Path shard : PartitionedStudentRepository.shardFiles()) {
+                    backupFile("jdbc:sqlite:" + shard, shardTarget.resolve(shard.getFileName()));
+                }
+            }
+            // 2. The main file goes last; rotation treats it as the marker of a complete backup
+            backupFile(DatabaseConnection.DEFAULT_URL, target);
+        } catch (SQLException | IOException e) {
+            deleteRecursively(shardTarget);
+            throw e;
+        }
+
+        // 3. Drop the oldest copies beyond the retention limit
+        rotate();
+        System.out.println("Database backed up to " + target);
+        return target;
+    }
+
+    private static void backupFile(String url, Path target) throws SQLException, IOException {
+        Path partial = target.resolveSibling(target.getFileName() + ".part");
+        Files.deleteIfExists(partial);
+
+        copyDatabase(url, partial);
+
+        // Only promote the file once SQLite agrees it is intact
+        if (!verifyBackup(partial)) {
+            Files.deleteIfExists(partial);
+            throw new SQLException("Backup failed integrity check: " + target);
+        }
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // The source lock is only held for one step, so foreground reads and writes carry on in between
+    private static void copyDatabase(String url, Path destination) throws SQLException {
+        try (Connection conn = DatabaseConnection.getConnection(url)) {
+            int rc = conn.unwrap(SQLiteConnection.class).getDatabase()
+                    .backup("main", destination.toString(), null, STEP_SLEEP_MILLIS, BUSY_RETRIES, PAGES_PER_STEP);
+            if (rc != SQLiteErrorCode.SQLITE_OK.code) {
+                throw new SQLException("Backup of " + url + " failed: " + SQLiteErrorCode.getErrorCode(rc), null, rc);
+            }
+        }
+    }
+
+    public static boolean verifyBackup(Path file) {
+        try (Connection conn = DatabaseConnection.getConnection("jdbc:sqlite:" + file);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA integrity_check")) {
+            return rs.next() && "ok".equalsIgnoreCase(rs.getString(1));
+        } catch (SQLException e) {
+            System.err.println("Could not verify backup " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Complete backups only, oldest first (timestamped names sort by age)
+    private static List<Path> listBackups() throws IOException {
+        List<Path> backups = new ArrayList<>();
+        if (!Files.isDirectory(BACKUP_DIR)) return backups;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(BACKUP_DIR, PREFIX + "*.db")) {
+            stream.forEach(backups::add);
+        }
+        backups.sort(null);
+        return backups;
+    }
+
+    private static void rotate() throws IOException {
+        List<Path> backups = listBackups();
+        for (int i = 0; i < backups.size() - MAX_BACKUPS; i++) {
+            Path oldest = backups.get(i);
+            String name = oldest.getFileName().toString();
+            deleteRecursively(oldest.resolveSibling(name.substring(0, name.length() - 3) + SHARDS_SUFFIX));
+            Files.deleteIfExists(oldest);
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> walk = Files.walk(dir)) {
+            for (Path p : walk.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+}
@@ -2,18 +2,88 @@ package com.studentmanagement.repository;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Properties;
 
 public class DatabaseConnection {
     // The database must be saved inside the project 'data' folder [cite: 72]
-    private static final String URL = "jdbc:sqlite:data/students.db";
+    static final String DEFAULT_URL = "jdbc:sqlite:data/students.db";
 
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL);
+        return getConnection(DEFAULT_URL);
+    }
+
+    public static Connection getConnection(String url) throws SQLException {
+        // Wait for a lock instead of failing straight away while a backup is reading the file
+        Properties props = new Properties();
+        props.setProperty("busy_timeout", "5000");
+        return DriverManager.getConnection(url, props);
+    }
+
+    // Pre-aggregated counts kept in step with 'students' by the triggers below,
+    // so the dashboard and reports read a handful of rows instead of scanning every student
+    private static final String CREATE_SUMMARY_SQL = """
+            CREATE TABLE IF NOT EXISTS student_summary (
+                programme TEXT NOT NULL,
+                level INTEGER NOT NULL,
+                status TEXT NOT NULL,
+                student_count INTEGER NOT NULL DEFAULT 0,
+                gpa_sum REAL NOT NULL DEFAULT 0,
+                PRIMARY KEY (programme, level, status)
+            ) WITHOUT ROWID;
+            """;
+
+    // One row per GPA in hundredths (0..400), so any threshold count is a sum over at most 401 rows
+    private static final String CREATE_HISTOGRAM_SQL = """
+            CREATE TABLE IF NOT EXISTS student_gpa_histogram (
+                gpa_centi INTEGER PRIMARY KEY NOT NULL,
+                student_count INTEGER NOT NULL DEFAULT 0
+            );
+            """;
+
+    private static final String ADD_NEW_ROW = """
+                INSERT INTO student_summary (programme, level, status, student_count, gpa_sum)
+                VALUES (NEW.programme, NEW.level, NEW.status, 1, NEW.gpa)
+                ON CONFLICT (programme, level, status) DO UPDATE
+                SET student_count = student_count + 1, gpa_sum = gpa_sum + excluded.gpa_sum;
+                INSERT INTO student_gpa_histogram (gpa_centi, student_count)
+                VALUES (CAST(ROUND(NEW.gpa * 100) AS INTEGER), 1)
+                ON CONFLICT (gpa_centi) DO UPDATE SET student_count = student_count + 1;
+            """;
+
+    private static final String REMOVE_OLD_ROW = """
+                UPDATE student_summary SET student_count = student_count - 1, gpa_sum = gpa_sum - OLD.gpa
+                WHERE programme = OLD.programme AND level = OLD.level AND status = OLD.status;
+                DELETE FROM student_summary
+                WHERE programme = OLD.programme AND level = OLD.level AND status = OLD.status AND student_count <= 0;
+                UPDATE student_gpa_histogram SET student_count = student_count - 1
+                WHERE gpa_centi = CAST(ROUND(OLD.gpa * 100) AS INTEGER);
+                DELETE FROM student_gpa_histogram
+                WHERE gpa_centi = CAST(ROUND(OLD.gpa * 100) AS INTEGER) AND student_count <= 0;
+            """;
+
+    private static final String[] SUMMARY_TRIGGERS = {
+            "CREATE TRIGGER IF NOT EXISTS students_summary_insert AFTER INSERT ON students BEGIN\n"
+                    + ADD_NEW_ROW + "END;",
+            "CREATE TRIGGER IF NOT EXISTS students_summary_delete AFTER DELETE ON students BEGIN\n"
+                    + REMOVE_OLD_ROW + "END;",
+            "CREATE TRIGGER IF NOT EXISTS students_summary_update AFTER UPDATE OF programme, level, status, gpa ON students BEGIN\n"
+                    + REMOVE_OLD_ROW + ADD_NEW_ROW + "END;"
+    };
+
+    // Closes the long-lived repository connections; called once on shutdown
+    public static void closeConnections() {
+        StatementCache.closeAll();
     }
 
     public static void initializeDatabase() {
+        initializeDatabase(DEFAULT_URL);
+    }
+
+    // Creates the schema in any database file, e.g. a programme shard in partitioned mode
+    public static void initializeDatabase(String url) {
         // SQL matching your strict requirements [cite: 80, 83, 84, 90, 92]
         String createTableSQL = """
             CREATE TABLE IF NOT EXISTS students (
@@ -29,12 +99,55 @@ public class DatabaseConnection {
             );
             """;
 
-        try (Connection conn = getConnection();
+        try (Connection conn = getConnection(url);
              Statement stmt = conn.createStatement()) {
+            // WAL lets the background backup read a consistent snapshot while the UI keeps writing
+            stmt.execute("PRAGMA journal_mode=WAL");
             stmt.execute(createTableSQL);
+            stmt.execute(CREATE_SUMMARY_SQL);
+            stmt.execute(CREATE_HISTOGRAM_SQL);
+            for (String trigger : SUMMARY_TRIGGERS) {
+                stmt.execute(trigger);
+            }
+
+            // Databases created before the summary tables existed need one full pass to catch up
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT (SELECT COUNT(*) FROM students) = (SELECT COALESCE(SUM(student_count), 0) FROM student_summary)")) {
+                if (rs.next() && !rs.getBoolean(1)) {
+                    rebuildSummaries(conn);
+                }
+            }
+            // Rows saved before GPAs were rounded on insert; the update trigger moves them into the right bucket
+            stmt.executeUpdate("UPDATE students SET gpa = ROUND(gpa, 2) WHERE gpa <> ROUND(gpa, 2)");
             System.out.println("Database initialized successfully.");
         } catch (SQLException e) {
             System.err.println("Database initialization failed: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // Recomputes both summary tables from 'students' in one transaction
+    static void rebuildSummaries(Connection conn) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM student_summary");
+            stmt.executeUpdate("DELETE FROM student_gpa_histogram");
+            stmt.executeUpdate("""
+                INSERT INTO student_summary (programme, level, status, student_count, gpa_sum)
+                SELECT programme, level, status, COUNT(*), SUM(gpa) FROM students
+                GROUP BY programme, level, status
+                """);
+            stmt.executeUpdate("""
+                INSERT INTO student_gpa_histogram (gpa_centi, student_count)
+                SELECT CAST(ROUND(gpa * 100) AS INTEGER), COUNT(*) FROM students
+                GROUP BY CAST(ROUND(gpa * 100) AS INTEGER)
+                """);
+            conn.commit();
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.studentmanagement.repository;
+
+import com.studentmanagement.domain.Student;
+import com.studentmanagement.domain.StudentSummary;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Routing repository that keeps one SQLite file per programme under data/shards.
+ * Single-programme reads touch only their own shard; whole-institution reads
+ * fan out to every shard in parallel and merge the results.
+ */
+public class PartitionedStudentRepository extends StudentRepository {
+    private static final Path SHARD_DIR = Paths.get("data", "shards");
+    private static final String SHARD_SUFFIX = ".db";
+
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    // Shared by every instance so a shard created from one view is visible to all others
+    private static final Map<String, StudentRepository> shards = new ConcurrentHashMap<>();
+    private static volatile boolean discovered;
+
+    // Which shard holds each student ID; loaded once at discovery and kept current by the routed writes
+    private static final Map<String, StudentRepository> shardById = new ConcurrentHashMap<>();
+
+    // No single file enforces the student_id primary key any more, so ID checks and writes are serialised here
+    private static final Object writeLock = new Object();
+
+    private static final ExecutorService pool = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), r -> {
+                Thread t = new Thread(r, "shard-query");
+                t.setDaemon(true);
+                return t;
+            });
+
+    @FunctionalInterface
+    private interface ShardQuery<T> {
+        List<T> run(StudentRepository shard) throws SQLException;
+    }
+
+    public PartitionedStudentRepository() {
+        discoverShards();
+    }
+
+    // Start with -Dsms.storage=partitioned to keep one database file per programme
+    public static boolean isEnabled() {
+        return "partitioned".equalsIgnoreCase(System.getProperty("sms.storage"));
+    }
+
+    // Every shard file, for DatabaseBackup
+    static List<Path> shardFiles() {
+        discoverShards();
+        List<Path> files = new ArrayList<>();
+        for (String key : shards.keySet()) {
+            files.add(SHARD_DIR.resolve(key + SHARD_SUFFIX));
+        }
+        return files;
+    }
+
+    // --- ROUTED WRITES ---
+    @Override
+    public void addStudent(Student s) throws SQLException {
+        synchronized (writeLock) {
+            requireNewId(s.getStudentId());
+            StudentRepository target = shardFor(s.getProgramme());
+            target.addStudent(s);
+            shardById.put(s.getStudentId(), target);
+        }
+    }
+
+    @Override
+    public void addStudents(List<Student> students) throws SQLException {
+        for (Student s : students) {
+            addStudent(s);
+        }
+    }
+
+    @Override
+    public void updateStudent(Student s) throws SQLException {
+        synchronized (writeLock) {
+            StudentRepository target = shardFor(s.getProgramme());
+            StudentRepository current = locate(s.getStudentId());
+
+            if (current == null || current == target) {
+                target.updateStudent(s);
+            } else {
+                // Programme changed: insert into the new shard before removing the old row so nothing is lost
+                target.addStudent(s);
+                shardById.put(s.getStudentId(), target);
+                current.deleteStudent(s.getStudentId());
+            }
+        }
+    }
+
+    @Override
+    public void updateStudentStatus(String studentId, String newStatus) throws SQLException {
+        // Locked so a concurrent programme move cannot take the row out from under it
+        synchronized (writeLock) {
+            StudentRepository current = locate(studentId);
+            if (current == null) {
+                throw new SQLException("Updating status failed, no student found with ID: " + studentId);
+            }
+            current.updateStudentStatus(studentId, newStatus);
+        }
+    }
+
+    @Override
+    public void deleteStudent(String studentId) throws SQLException {
+        synchronized (writeLock) {
+            StudentRepository current = locate(studentId);
+            if (current != null) {
+                current.deleteStudent(studentId);
+                shardById.remove(studentId);
+            }
+        }
+    }
+
+    // --- READS ---
+    @Override
+    public List<Student> getStudentsByProgramme(String programme) throws SQLException {
+        StudentRepository shard = shards.get(shardKey(programme));
+        return shard == null ? new ArrayList<>() : shard.getStudentsByProgramme(programme);
+    }
+
+    @Override
+    public List<Student> getAllStudents() throws SQLException {
+        return fanOut(StudentRepository::getAllStudents);
+    }
+
+    @Override
+    public List<Student> getStudentsWithGpaAtLeast(double gpa) throws SQLException {
+        return fanOut(shard -> shard.getStudentsWithGpaAtLeast(gpa));
+    }
+
+    @Override
+    public List<Student> getStudentsWithGpaBelow(double gpa) throws SQLException {
+        return fanOut(shard -> shard.getStudentsWithGpaBelow(gpa));
+    }
+
+    @Override
+    public Student findStudent(String studentId) throws SQLException {
+        StudentRepository shard = locate(studentId);
+        return shard == null ? null : shard.findStudent(studentId);
+    }
+
+    @Override
+    public StudentSummary getSummary() throws SQLException {
+        StudentSummary merged = new StudentSummary();
+        for (StudentSummary part : fanOut(shard -> List.of(shard.getSummary()))) {
+            merged.merge(part);
+        }
+        return merged;
+    }
+
+    @Override
+    public void rebuildSummaries() throws SQLException {
+        fanOut(shard -> {
+            shard.rebuildSummaries();
+            return List.of();
+        });
+    }
+
+    // --- SHARD ROUTING ---
+    private void requireNewId(String studentId) throws SQLException {
+        if (locate(studentId) != null) {
+            // Same message and code the single database reports for its primary key
+            throw new SQLException("UNIQUE constraint failed: students.student_id (" + studentId + ")", null, SQLITE_CONSTRAINT);
+        }
+    }
+
+    private static StudentRepository locate(String studentId) {
+        return studentId == null ? null : shardById.get(studentId);
+    }
+
+    private <T> List<T> fanOut(ShardQuery<T> query) throws SQLException {
+        List<Future<List<T>>> pending = new ArrayList<>();
+        for (StudentRepository shard : shards.values()) {
+            pending.add(pool.submit(() -> query.run(shard)));
+        }
+
+        List<T> merged = new ArrayList<>();
+        try {
+            for (Future<List<T>> f : pending) {
+                merged.addAll(f.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Shard query interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException sqlError) throw sqlError;
+            throw new SQLException("Shard query failed: " + e.getCause().getMessage(), e.getCause());
+        }
+        return merged;
+    }
+
+    private static StudentRepository shardFor(String programme) throws SQLException {
+        String key = shardKey(programme);
+        StudentRepository shard = shards.get(key);
+        if (shard != null) return shard;
+
+        try {
+            Files.createDirectories(SHARD_DIR);
+        } catch (IOException e) {
+            throw new SQLException("Could not create shard folder: " + e.getMessage(), e);
+        }
+        return shards.computeIfAbsent(key, k -> {
+            String url = urlFor(k);
+            DatabaseConnection.initializeDatabase(url);
+            return new StudentRepository(url);
+        });
+    }
+
+    private static synchronized void discoverShards() {
+        if (discovered) return;
+        if (Files.isDirectory(SHARD_DIR)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(SHARD_DIR, "*" + SHARD_SUFFIX)) {
+                for (Path file : stream) {
+                    String name = file.getFileName().toString();
+                    String key = name.substring(0, name.length() - SHARD_SUFFIX.length());
+                    // Brings shards created by older versions up to the current schema
+                    DatabaseConnection.initializeDatabase(urlFor(key));
+                    shards.putIfAbsent(key, new StudentRepository(urlFor(key)));
+                }
+            } catch (IOException e) {
+                System.err.println("Could not scan shard folder: " + e.getMessage());
+            }
+        }
+        if (shards.isEmpty()) {
+            migrateMainDatabase();
+        }
+        indexShards();
+        discovered = true;
+    }
+
+    // One ID-only pass per shard, so routing a write never has to ask every shard
+    private static void indexShards() {
+        for (StudentRepository shard : shards.values()) {
+            try {
+                for (String id : shard.getStudentIds()) {
+                    shardById.put(id, shard);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not read student IDs from a shard: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    // First start in partitioned mode: copy the rows already in data/students.db into their shards,
+    // otherwise switching modes would silently hide them. The main file is left as it was.
+    private static void migrateMainDatabase() {
+        try {
+            List<Student> existing = new StudentRepository().getAllStudents();
+            if (existing.isEmpty()) return;
+
+            Map<String, List<Student>> byShard = new HashMap<>();
+            for (Student s : existing) {
+                byShard.computeIfAbsent(shardKey(s.getProgramme()), k -> new ArrayList<>()).add(s);
+            }
+            for (List<Student> group : byShard.values()) {
+                shardFor(group.get(0).getProgramme()).addStudents(group);
+            }
+            System.out.println("Moved " + existing.size() + " students into " + byShard.size() + " programme shards.");
+        } catch (SQLException e) {
+            // A half-finished copy would be mistaken for a finished one next time, so undo it and refuse to run
+            for (String key : shards.keySet()) {
+                StatementCache.forUrl(urlFor(key)).close();
+                deleteShardFiles(key);
+            }
+            shards.clear();
+            shardById.clear();
+            throw new IllegalStateException("Could not move data/students.db into partitioned storage: " + e.getMessage(), e);
+        }
+    }
+
+    private static void deleteShardFiles(String key) {
+        for (String suffix : new String[] {SHARD_SUFFIX, SHARD_SUFFIX + "-wal", SHARD_SUFFIX + "-shm"}) {
+            try {
+                Files.deleteIfExists(SHARD_DIR.resolve(key + suffix));
+            } catch (IOException e) {
+                System.err.println("Could not remove shard " + key + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // "Electrical/Electronic Engineering" -> "electrical_electronic_engineering"
+    private static String shardKey(String programme) {
+        String key = programme == null ? "" : programme.trim().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_");
+        return key.isEmpty() ? "unassigned" : key;
+    }
+
+    private static String urlFor(String key) {
+        return "jdbc:sqlite:" + SHARD_DIR.resolve(key + SHARD_SUFFIX);
+    }
+}
@@ -0,0 +1,89 @@
+package com.studentmanagement.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One long-lived connection per database file plus the PreparedStatements
+ * compiled on it. Repositories reuse the same statement for every call
+ * instead of reconnecting and re-parsing the SQL each time.
+ * Work runs one caller at a time, since a JDBC statement is not thread-safe.
+ */
+class StatementCache {
+    private static final Map<String, StatementCache> byUrl = new ConcurrentHashMap<>();
+    private static final int SQLITE_CONSTRAINT = 19;
+    private static final int VALID_TIMEOUT_SECONDS = 2;
+
+    private final String url;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private Connection conn;
+
+    @FunctionalInterface
+    interface Work<T> {
+        T run(StatementCache cache) throws SQLException;
+    }
+
+    private StatementCache(String url) {
+        this.url = url;
+    }
+
+    static StatementCache forUrl(String url) {
+        return byUrl.computeIfAbsent(url, StatementCache::new);
+    }
+
+    synchronized <T> T execute(Work<T> work) throws SQLException {
+        try {
+            return work.run(this);
+        } catch (SQLException e) {
+            // Only a broken connection is replaced; a rejected row leaves it and its statements usable
+            if (!isUsableAfter(e)) close();
+            throw e;
+        }
+    }
+
+    private boolean isUsableAfter(SQLException e) {
+        if ((e.getErrorCode() & 0xff) == SQLITE_CONSTRAINT) return true; // Extended codes keep the primary code in the low byte
+        try {
+            return conn != null && conn.isValid(VALID_TIMEOUT_SECONDS);
+        } catch (SQLException ignored) {
+            return false;
+        }
+    }
+
+    // Only call from inside execute()
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement ps = statements.get(sql);
+        if (ps == null) {
+            ps = connection().prepareStatement(sql);
+            statements.put(sql, ps);
+        }
+        return ps;
+    }
+
+    Connection connection() throws SQLException {
+        if (conn == null || conn.isClosed()) {
+            statements.clear();
+            conn = DatabaseConnection.getConnection(url);
+        }
+        return conn;
+    }
+
+    synchronized void close() {
+        for (PreparedStatement ps : statements.values()) {
+            try { ps.close(); } catch (SQLException ignored) { }
+        }
+        statements.clear();
+        if (conn != null) {
+            try { conn.close(); } catch (SQLException e) { System.err.println("Could not close " + url + ": " + e.getMessage()); }
+            conn = null;
+        }
+    }
+
+    static void closeAll() {
+        byUrl.values().forEach(StatementCache::close);
+    }
+}
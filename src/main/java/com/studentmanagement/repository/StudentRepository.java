@@ -1,111 +1,195 @@
 package com.studentmanagement.repository;
 
 import com.studentmanagement.domain.Student;
+import com.studentmanagement.domain.StudentSummary;
 import java.sql.*;
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 public class StudentRepository {
+    // SQL is built once; StatementCache keys its compiled statements on these exact strings
+    private static final String SELECT_STUDENTS = "SELECT " + StudentRowMapper.COLUMNS + " FROM students";
+    private static final String INSERT_SQL =
+            "INSERT INTO students (" + StudentRowMapper.COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SELECT_BY_ID_SQL = SELECT_STUDENTS + " WHERE student_id = ?";
+    private static final String SELECT_BY_PROGRAMME_SQL = SELECT_STUDENTS + " WHERE programme = ?";
+    private static final String SELECT_GPA_AT_LEAST_SQL = SELECT_STUDENTS + " WHERE gpa >= ?";
+    private static final String SELECT_GPA_BELOW_SQL = SELECT_STUDENTS + " WHERE gpa < ?";
+    private static final String UPDATE_SQL =
+            "UPDATE students SET full_name = ?, gpa = ?, programme = ?, phone_number = ?, status = ? WHERE student_id = ?";
+    private static final String UPDATE_STATUS_SQL = "UPDATE students SET status = ? WHERE student_id = ?";
+    private static final String DELETE_SQL = "DELETE FROM students WHERE student_id = ?";
+    private static final String SELECT_SUMMARY_SQL = "SELECT programme, level, status, student_count, gpa_sum FROM student_summary";
+    private static final String SELECT_IDS_SQL = "SELECT student_id FROM students";
+    private static final String SELECT_HISTOGRAM_SQL = "SELECT gpa_centi, student_count FROM student_gpa_histogram";
+
+    private final StatementCache statements;
+
+    public StudentRepository() {
+        this(DatabaseConnection.DEFAULT_URL);
+    }
+
+    // Used by PartitionedStudentRepository to point one repository at each shard file
+    public StudentRepository(String url) {
+        this.statements = StatementCache.forUrl(url);
+    }
+
+    // The only insert path; dates are always stored as yyyy-MM-dd text
     public void addStudent(Student s) throws SQLException {
-        String sql = "INSERT INTO students (student_id, full_name, email, level, gpa, phone_number, programme, date_added, status) VALUES (?,?,?,?,?,?,?,?,?)";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, s.getStudentId());
-            ps.setString(2, s.getFullName());
-            ps.setString(3, s.getEmail());
-            ps.setInt(4, s.getLevel());
-            ps.setDouble(5, s.getGpa());
-            ps.setString(6, s.getPhoneNumber());
-            ps.setString(7, s.getProgramme());
-            ps.setString(8, s.getDateAdded().toString());
-            ps.setString(9, s.getStatus());
-            ps.executeUpdate();
-        }
+        statements.execute(cache -> {
+            PreparedStatement ps = cache.prepare(INSERT_SQL);
+            bindInsert(ps, s);
+            return ps.executeUpdate();
+        });
+    }
+
+    // Inserts many rows in one transaction, e.g. when moving data into partitioned storage
+    public void addStudents(List<Student> students) throws SQLException {
+        statements.execute(cache -> {
+            Connection conn = cache.connection();
+            conn.setAutoCommit(false);
+            try {
+                PreparedStatement ps = cache.prepare(INSERT_SQL);
+                for (Student s : students) {
+                    bindInsert(ps, s);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            return null;
+        });
+    }
+
+    private static void bindInsert(PreparedStatement ps, Student s) throws SQLException {
+        ps.setString(1, s.getStudentId());
+        ps.setString(2, s.getFullName());
+        ps.setString(3, s.getEmail());
+        ps.setInt(4, s.getLevel());
+        ps.setDouble(5, s.getGpa());
+        ps.setString(6, s.getPhoneNumber());
+        ps.setString(7, s.getProgramme());
+        ps.setString(8, s.getDateAdded().toString());
+        ps.setString(9, s.getStatus());
     }
 
     public List<Student> getAllStudents() throws SQLException {
-        List<Student> students = new ArrayList<>();
-        String sql = "SELECT * FROM students";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-
-            while (rs.next()) {
-                Student s = new Student(
-                        rs.getString("student_id"),
-                        rs.getString("full_name"),
-                        rs.getString("programme"),
-                        rs.getInt("level"),
-                        rs.getDouble("gpa"),
-                        rs.getString("phone_number") // Pulling the phone number from DB
-                );
-                students.add(s);
+        return queryStudents(SELECT_STUDENTS, null);
+    }
+
+    public List<Student> getStudentsByProgramme(String programme) throws SQLException {
+        return queryStudents(SELECT_BY_PROGRAMME_SQL, programme);
+    }
+
+    // The GPA filters run inside SQLite so callers don't pull every row just to discard most of them
+    public List<Student> getStudentsWithGpaAtLeast(double gpa) throws SQLException {
+        return queryStudents(SELECT_GPA_AT_LEAST_SQL, gpa);
+    }
+
+    public List<Student> getStudentsWithGpaBelow(double gpa) throws SQLException {
+        return queryStudents(SELECT_GPA_BELOW_SQL, gpa);
+    }
+
+    // IDs only, without building a Student per row; used to index partitioned storage
+    public List<String> getStudentIds() throws SQLException {
+        return statements.execute(cache -> {
+            List<String> ids = new ArrayList<>();
+            try (ResultSet rs = cache.prepare(SELECT_IDS_SQL).executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getString(1));
+                }
             }
-        }
-        return students;
+            return ids;
+        });
     }
 
+    public Student findStudent(String studentId) throws SQLException {
+        List<Student> found = queryStudents(SELECT_BY_ID_SQL, studentId);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    // Reads the trigger-maintained summary tables; cost depends on the number of groups, not students
+    public StudentSummary getSummary() throws SQLException {
+        return statements.execute(cache -> {
+            StudentSummary summary = new StudentSummary();
+            try (ResultSet rs = cache.prepare(SELECT_SUMMARY_SQL).executeQuery()) {
+                while (rs.next()) {
+                    summary.addGroup(new StudentSummary.Group(
+                            rs.getString(1), rs.getInt(2), rs.getString(3), rs.getLong(4), rs.getDouble(5)));
+                }
+            }
+            try (ResultSet rs = cache.prepare(SELECT_HISTOGRAM_SQL).executeQuery()) {
+                while (rs.next()) {
+                    summary.addGpaCount(rs.getInt(1), rs.getLong(2));
+                }
+            }
+            return summary;
+        });
+    }
+
+    public void rebuildSummaries() throws SQLException {
+        statements.execute(cache -> {
+            DatabaseConnection.rebuildSummaries(cache.connection());
+            return null;
+        });
+    }
+
+    private List<Student> queryStudents(String sql, Object param) throws SQLException {
+        return statements.execute(cache -> {
+            PreparedStatement ps = cache.prepare(sql);
+            ps.clearParameters(); // The statement is reused; never run with the previous call's value
+            if (param != null) ps.setObject(1, param);
+
+            List<Student> students = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    students.add(StudentRowMapper.map(rs));
+                }
+            }
+            return students;
+        });
+    }
 
     public void deleteStudent(String studentId) throws SQLException {
-        String sql = "DELETE FROM students WHERE student_id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        statements.execute(cache -> {
+            PreparedStatement pstmt = cache.prepare(DELETE_SQL);
             pstmt.setString(1, studentId);
-            pstmt.executeUpdate();
-        }
+            return pstmt.executeUpdate();
+        });
     }
 
     public void updateStudent(Student s) throws SQLException {
-        String sql = "UPDATE students SET full_name = ?, gpa = ?, programme = ? WHERE student_id = ?";
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        statements.execute(cache -> {
+            PreparedStatement pstmt = cache.prepare(UPDATE_SQL);
             pstmt.setString(1, s.getFullName());
             pstmt.setDouble(2, s.getGpa());
             pstmt.setString(3, s.getProgramme());
-            pstmt.setString(4, s.getStudentId());
-            pstmt.executeUpdate();
-        }
+            pstmt.setString(4, s.getPhoneNumber());
+            pstmt.setString(5, s.getStatus());
+            pstmt.setString(6, s.getStudentId());
+            return pstmt.executeUpdate();
+        });
     }
-    public void updateStudentStatus(String studentId, String newStatus) throws SQLException {
-        String sql = "UPDATE students SET status = ? WHERE student_id = ?";
 
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+    public void updateStudentStatus(String studentId, String newStatus) throws SQLException {
+        int affectedRows = statements.execute(cache -> {
+            PreparedStatement pstmt = cache.prepare(UPDATE_STATUS_SQL);
 
             // Set the parameters for the query
             pstmt.setString(1, newStatus);
             pstmt.setString(2, studentId);
 
             // Execute the update
-            int affectedRows = pstmt.executeUpdate();
+            return pstmt.executeUpdate();
+        });
 
-            if (affectedRows == 0) {
-                throw new SQLException("Updating status failed, no student found with ID: " + studentId);
-            }
-        }
-    }
-    public void saveStudent(Student student) throws SQLException {
-        // Ensure "phone_number" is included in the SQL string
-        String sql = "INSERT INTO students (student_id, full_name, email, level, gpa, phone_number, programme, date_added, status) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
-            pstmt.setString(1, student.getStudentId());
-            pstmt.setString(2, student.getFullName());
-            pstmt.setString(3, student.getEmail());
-            pstmt.setInt(4, student.getLevel());
-            pstmt.setDouble(5, student.getGpa());
-            pstmt.setString(6, student.getPhoneNumber()); // This links the phone input to the DB
-            pstmt.setString(7, student.getProgramme());
-            pstmt.setDate(8, java.sql.Date.valueOf(student.getDateAdded()));
-            pstmt.setString(9, student.getStatus());
-
-            pstmt.executeUpdate();
+        if (affectedRows == 0) {
+            throw new SQLException("Updating status failed, no student found with ID: " + studentId);
         }
     }
-
-}
\ No newline at end of file
+}
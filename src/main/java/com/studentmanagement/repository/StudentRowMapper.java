@@ -0,0 +1,62 @@
+package com.studentmanagement.repository;
+
+import com.studentmanagement.domain.Student;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Maps a row selected with COLUMNS to a Student. Columns are read by their
+ * fixed position instead of looking each name up per row.
+ */
+class StudentRowMapper {
+    static final String COLUMNS = "student_id, full_name, email, level, gpa, phone_number, programme, date_added, status";
+
+    private static final int STUDENT_ID = 1;
+    private static final int FULL_NAME = 2;
+    private static final int EMAIL = 3;
+    private static final int LEVEL = 4;
+    private static final int GPA = 5;
+    private static final int PHONE_NUMBER = 6;
+    private static final int PROGRAMME = 7;
+    private static final int DATE_ADDED = 8;
+    private static final int STATUS = 9;
+
+    static Student map(ResultSet rs) throws SQLException {
+        return new Student(
+                rs.getString(STUDENT_ID),
+                rs.getString(FULL_NAME),
+                rs.getString(EMAIL),
+                rs.getInt(LEVEL),
+                rs.getDouble(GPA),
+                rs.getString(PHONE_NUMBER),
+                rs.getString(PROGRAMME),
+                parseDate(rs.getString(DATE_ADDED)),
+                rs.getString(STATUS));
+    }
+
+    // Rows are stored as yyyy-MM-dd; the old saveStudent path wrote epoch milliseconds instead
+    private static LocalDate parseDate(String value) {
+        if (value == null || value.isEmpty()) return null;
+        if (isDigits(value)) {
+            return LocalDate.ofInstant(Instant.ofEpochMilli(Long.parseLong(value)), ZoneId.systemDefault());
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            return null; // Student falls back to today
+        }
+    }
+
+    private static boolean isDigits(String value) {
+        if (value.length() > 18) return false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,171 @@
+package com.studentmanagement.service;
+
+import com.studentmanagement.domain.Student;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Single owner of config.properties. The file is read once into an immutable
+ * snapshot; readers just grab the current snapshot, and edits (from the
+ * Settings view or made by hand while the app runs) swap in a new one and
+ * notify listeners. atRiskThreshold is also the cut-off for a student's
+ * Inactive status, so there is exactly one status threshold.
+ */
+public class ConfigService {
+    public record Snapshot(double atRiskThreshold, double excellentThreshold) {
+        static final Snapshot DEFAULTS = new Snapshot(2.0, 3.5);
+    }
+
+    private static final ConfigService INSTANCE = new ConfigService(Paths.get("config.properties"));
+
+    private final Path file;
+    private final AtomicReference<Snapshot> current;
+    private final List<Consumer<Snapshot>> listeners = new CopyOnWriteArrayList<>();
+
+    private ConfigService(Path file) {
+        this.file = file.toAbsolutePath();
+        Snapshot initial = load(Snapshot.DEFAULTS);
+        this.current = new AtomicReference<>(initial != null ? initial : Snapshot.DEFAULTS);
+        Student.setInactiveThreshold(current.get().atRiskThreshold());
+        startWatching();
+    }
+
+    public static ConfigService getInstance() {
+        return INSTANCE;
+    }
+
+    public Snapshot current() {
+        return current.get();
+    }
+
+    public void addListener(Consumer<Snapshot> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<Snapshot> listener) {
+        listeners.remove(listener);
+    }
+
+    // Rejects values that load() would drop on the next reload, so memory and file never disagree
+    public synchronized void save(Snapshot updated) throws IOException {
+        if (!isThreshold(updated.atRiskThreshold()) || !isThreshold(updated.excellentThreshold())) {
+            throw new IllegalArgumentException("Thresholds must be between 0.0 and 4.0");
+        }
+        if (updated.atRiskThreshold() > updated.excellentThreshold()) {
+            throw new IllegalArgumentException("The at-risk threshold cannot be above the excellent threshold");
+        }
+        // Keep any keys we don't manage instead of overwriting the whole file
+        Properties props = readProperties();
+        if (props == null) props = new Properties();
+        props.setProperty("atRiskThreshold", String.valueOf(updated.atRiskThreshold()));
+        props.setProperty("excellentThreshold", String.valueOf(updated.excellentThreshold()));
+        try (OutputStream out = Files.newOutputStream(file)) {
+            props.store(out, null);
+        }
+        publish(updated);
+    }
+
+    private synchronized void reload() {
+        Snapshot updated = load(current.get());
+        if (updated != null) publish(updated);
+    }
+
+    private void publish(Snapshot updated) {
+        Snapshot previous = current.getAndSet(updated);
+        Student.setInactiveThreshold(updated.atRiskThreshold());
+        if (!updated.equals(previous)) {
+            listeners.forEach(l -> l.accept(updated));
+        }
+    }
+
+    // Returns null when no setting could be read (file missing, empty, unreadable or mid-write),
+    // so the last good snapshot stays in place; a key that is missing or invalid keeps its previous value
+    private Snapshot load(Snapshot previous) {
+        Properties props = readProperties();
+        if (props == null) return null;
+        double atRisk = readDouble(props, "atRiskThreshold");
+        double excellent = readDouble(props, "excellentThreshold");
+        if (Double.isNaN(atRisk) && Double.isNaN(excellent)) return null;
+        Snapshot loaded = new Snapshot(
+                Double.isNaN(atRisk) ? previous.atRiskThreshold() : atRisk,
+                Double.isNaN(excellent) ? previous.excellentThreshold() : excellent);
+        if (loaded.atRiskThreshold() > loaded.excellentThreshold()) {
+            System.err.println("Ignoring config: atRiskThreshold is above excellentThreshold");
+            return null;
+        }
+        return loaded;
+    }
+
+    // Returns null if the file is missing or could not be read
+    private Properties readProperties() {
+        if (!Files.exists(file)) return null;
+        Properties props = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            props.load(in);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Could not read config: " + e.getMessage());
+            return null;
+        }
+        return props;
+    }
+
+    // Returns NaN if the key is missing or not a GPA between 0.0 and 4.0
+    private static double readDouble(Properties props, String key) {
+        String value = props.getProperty(key);
+        if (value == null) return Double.NaN;
+        try {
+            double parsed = Double.parseDouble(value.trim());
+            if (isThreshold(parsed)) return parsed;
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        System.err.println("Ignoring invalid " + key + " in config: " + value);
+        return Double.NaN;
+    }
+
+    private static boolean isThreshold(double value) {
+        return value >= 0.0 && value <= 4.0; // Also false for NaN
+    }
+
+    // --- FILE WATCH ---
+    private void startWatching() {
+        Thread watcher = new Thread(this::watchLoop, "config-watch");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watchLoop() {
+        Path dir = file.getParent();
+        try (WatchService ws = FileSystems.getDefault().newWatchService()) {
+            dir.register(ws, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (true) {
+                WatchKey key = ws.take();
+                boolean touched = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (file.getFileName().equals(event.context())) touched = true;
+                }
+                if (touched) reload();
+                if (!key.reset()) break;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | ClosedWatchServiceException e) {
+            System.err.println("Config file watch stopped: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.studentmanagement.service;
+
+import com.studentmanagement.domain.Student;
+
+/**
+ * One saved change to a student record. DELETE events carry no Student.
+ */
+public record StudentChangeEvent(Type type, String studentId, Student student) {
+    public enum Type { INSERT, UPDATE, DELETE }
+
+    public static StudentChangeEvent inserted(Student s) { return new StudentChangeEvent(Type.INSERT, s.getStudentId(), s); }
+    public static StudentChangeEvent updated(Student s) { return new StudentChangeEvent(Type.UPDATE, s.getStudentId(), s); }
+    public static StudentChangeEvent deleted(String studentId) { return new StudentChangeEvent(Type.DELETE, studentId, null); }
+}
@@ -0,0 +1,33 @@
+package com.studentmanagement.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Process-wide feed of student changes. StudentService publishes after every
+ * successful write, whichever view or thread made it, so subscribers can
+ * apply just the delta instead of reloading everything.
+ */
+public class StudentChangeFeed {
+    private static final List<Consumer<StudentChangeEvent>> subscribers = new CopyOnWriteArrayList<>();
+
+    public static void subscribe(Consumer<StudentChangeEvent> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public static void unsubscribe(Consumer<StudentChangeEvent> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    static void publish(StudentChangeEvent event) {
+        for (Consumer<StudentChangeEvent> s : subscribers) {
+            try {
+                s.accept(event);
+            } catch (RuntimeException e) {
+                // One broken subscriber must not undo a write that already succeeded
+                System.err.println("Change feed subscriber failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -1,53 +1,104 @@
 package com.studentmanagement.service;
 
 import com.studentmanagement.domain.Student;
+import com.studentmanagement.domain.StudentSummary;
+import com.studentmanagement.repository.PartitionedStudentRepository;
 import com.studentmanagement.repository.StudentRepository;
 import java.io.*;
 import java.sql.SQLException;
-import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 
 public class StudentService {
-    private final StudentRepository repository = new StudentRepository();
-    private double inactiveThreshold = 1.5;
+    private final StudentRepository repository = createRepository();
+    private final ConfigService config = ConfigService.getInstance();
+    private static final int MAX_REPORTED_ROWS = 10;
+    private static final int SQLITE_CONSTRAINT = 19;
+
+    private static StudentRepository createRepository() {
+        if (PartitionedStudentRepository.isEnabled()) {
+            return new PartitionedStudentRepository();
+        }
+        return new StudentRepository();
+    }
 
     public String importFromCSV(File file) {
-        int successCount = 0;
+        List<StudentValidator.Report> valid = new ArrayList<>();
+        List<StudentValidator.Report> rejected = new ArrayList<>();
+        Set<String> seenIds = new HashSet<>();
+
+        // 1. Validate every row up front; bad rows never reach the database
         try (BufferedReader br = new BufferedReader(new FileReader(file))) {
             String line = br.readLine(); // Skip Header
+            int row = 1;
             while ((line = br.readLine()) != null) {
-                try {
-                    String[] data = line.split(",");
-                    if (data.length < 8) continue;
-
-                    Student s = new Student();
-                    s.setStudentId(data[0].trim());
-                    s.setFullName(data[1].trim());
-                    s.setEmail(data[2].trim());
-                    s.setLevel(Integer.parseInt(data[3].trim())); // Parse int
-                    s.setGpa(Double.parseDouble(data[4].trim())); // Parse double
-                    s.setPhoneNumber(data[5].trim());
-                    s.setProgramme(data[6].trim());
-                    s.setDateAdded(LocalDate.parse(data[7].trim())); // Parse Date
-                    s.setStatus(s.getGpa() < inactiveThreshold ? "Inactive" : "Active");
-
-                    repository.addStudent(s);
-                    successCount++;
-                } catch (Exception e) {
-                    System.err.println("Skipping bad row: " + e.getMessage());
+                row++;
+                if (line.isBlank()) continue;
+                StudentValidator.Report report = StudentValidator.validateRow(row, line.split(",", -1));
+                if (report.isValid() && !seenIds.add(report.getStudent().getStudentId())) {
+                    report.add("Student ID", "appears more than once in this file");
+                }
+                if (report.isValid()) {
+                    valid.add(report);
+                } else {
+                    rejected.add(report);
                 }
             }
         } catch (IOException e) {
             return "File Error: " + e.getMessage();
         }
-        return "Imported " + successCount + " students.";
+
+        // 2. Insert the clean rows; anything the database refuses is reported like a validation error
+        int successCount = 0;
+        for (StudentValidator.Report report : valid) {
+            Student s = report.getStudent();
+            try {
+                repository.addStudent(s);
+                StudentChangeFeed.publish(StudentChangeEvent.inserted(s));
+                successCount++;
+            } catch (SQLException e) {
+                if ((e.getErrorCode() & 0xff) == SQLITE_CONSTRAINT) {
+                    report.add("Student ID", "already exists");
+                } else {
+                    report.add("Row", "could not be saved: " + e.getMessage());
+                }
+                rejected.add(report);
+            }
+        }
+        rejected.sort(Comparator.comparingInt(StudentValidator.Report::getRow));
+
+        StringBuilder summary = new StringBuilder("Imported " + successCount + " students.");
+        if (!rejected.isEmpty()) {
+            summary.append("\nRejected ").append(rejected.size()).append(" rows:");
+            for (int i = 0; i < rejected.size(); i++) {
+                System.err.println("Skipping bad row: " + rejected.get(i).describe());
+                if (i < MAX_REPORTED_ROWS) summary.append("\n").append(rejected.get(i).describe());
+            }
+            if (rejected.size() > MAX_REPORTED_ROWS) summary.append("\n...");
+        }
+        return summary.toString();
     }
 
     public List<Student> getAllStudents() throws Exception { return repository.getAllStudents(); }
-    public void saveStudent(Student s) throws Exception { repository.addStudent(s); }
-    public void removeStudent(String id) throws Exception { repository.deleteStudent(id); }
-    public void modifyStudent(Student s) throws Exception { repository.updateStudent(s); }
+    public void saveStudent(Student s) throws Exception {
+        repository.addStudent(s);
+        StudentChangeFeed.publish(StudentChangeEvent.inserted(s));
+    }
+    public void removeStudent(String id) throws Exception {
+        repository.deleteStudent(id);
+        StudentChangeFeed.publish(StudentChangeEvent.deleted(id));
+    }
+    public void modifyStudent(Student s) throws Exception {
+        repository.updateStudent(s);
+        StudentChangeFeed.publish(StudentChangeEvent.updated(s));
+    }
+    public List<Student> getStudentsByProgramme(String programme) throws Exception { return repository.getStudentsByProgramme(programme); }
+    public StudentSummary getSummary() throws Exception { return repository.getSummary(); }
+    public void rebuildSummaries() throws Exception { repository.rebuildSummaries(); }
 
 
 
@@ -60,23 +111,21 @@ public class StudentService {
 
 
     public List<Student> getTopPerformers() throws Exception {
-        return repository.getAllStudents().stream()
-                .filter(s -> s.getGpa() >= 3.5)
-                .collect(java.util.stream.Collectors.toList());
+        return repository.getStudentsWithGpaAtLeast(config.current().excellentThreshold());
     }
 
     public List<Student> getAtRiskStudents() throws Exception {
-        return repository.getAllStudents().stream()
-                .filter(s -> s.getGpa() < 2.0)
-                .collect(java.util.stream.Collectors.toList());
-    }
-    public double getInactiveThreshold() {
-        return 1.5; // Or your preferred threshold
+        return repository.getStudentsWithGpaBelow(config.current().atRiskThreshold());
     }
     public void updateStudentStatus(String studentId, String newStatus) {
         try {
             // Wrap the database call to handle the SQLException
             repository.updateStudentStatus(studentId, newStatus);
+            Student updated = repository.findStudent(studentId);
+            if (updated != null) {
+                updated.setStatus(newStatus);
+                StudentChangeFeed.publish(StudentChangeEvent.updated(updated));
+            }
         } catch (SQLException e) {
             // Log the error instead of letting the app crash
             System.err.println("Database Error: " + e.getMessage());
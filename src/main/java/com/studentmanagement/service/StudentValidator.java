@@ -0,0 +1,189 @@
+package com.studentmanagement.service;
+
+import com.studentmanagement.domain.Student;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Checks Student fields before anything reaches the database. Nothing in here
+ * throws on bad input: numbers and dates are parsed by hand and report failure
+ * through sentinel values, so a dirty CSV costs no exceptions or stack traces.
+ * The rules mirror the CHECK constraints in DatabaseConnection.
+ */
+public class StudentValidator {
+    // Precompiled once; IDs look like 01220998B
+    private static final Pattern ID_PATTERN = Pattern.compile("\\d{6,12}[A-Za-z]?");
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}");
+    // 9-16 digits; single spaces or hyphens may separate them but are not counted
+    private static final Pattern PHONE_PATTERN = Pattern.compile("\\+?\\d(?:[ -]?\\d){8,15}");
+
+    private static final int CSV_COLUMNS = 8;
+    private static final int GPA_DECIMALS = 2;
+    public static final int INVALID_LEVEL = -1;
+
+    public record FieldError(String field, String message) {
+        @Override
+        public String toString() { return field + " " + message; }
+    }
+
+    /** Errors found for one CSV row (or the form, as row 0) plus the parsed Student when the row is clean. */
+    public static class Report {
+        private final int row;
+        private final List<FieldError> errors = new ArrayList<>(2);
+        private Student student;
+
+        Report(int row) { this.row = row; }
+
+        public int getRow() { return row; }
+        public List<FieldError> getErrors() { return errors; }
+        public Student getStudent() { return student; }
+        public boolean isValid() { return errors.isEmpty(); }
+
+        void add(String field, String message) { errors.add(new FieldError(field, message)); }
+
+        public String describe() {
+            StringBuilder sb = new StringBuilder();
+            if (row > 0) sb.append("Row ").append(row).append(": ");
+            for (int i = 0; i < errors.size(); i++) {
+                if (i > 0) sb.append("; ");
+                sb.append(errors.get(i));
+            }
+            return sb.toString();
+        }
+    }
+
+    // CSV layout: id, name, email, level, gpa, phone, programme, date_added
+    public static Report validateRow(int row, String[] data) {
+        Report report = new Report(row);
+        if (data.length < CSV_COLUMNS) {
+            report.add("Line", "has " + data.length + " columns, expected " + CSV_COLUMNS);
+            return report;
+        }
+
+        String id = data[0].trim();
+        String name = data[1].trim();
+        String email = data[2].trim();
+        String phone = data[5].trim();
+        String programme = data[6].trim();
+
+        checkId(report, id);
+        checkName(report, name);
+        if (!EMAIL_PATTERN.matcher(email).matches()) report.add("Email", "is not a valid email address");
+        int level = parseLevel(data[3]);
+        if (level == INVALID_LEVEL) report.add("Level", "must be one of 100, 200, ... 700");
+        double gpa = parseGpa(data[4]);
+        if (Double.isNaN(gpa)) report.add("GPA", "must be a number between 0.0 and 4.0 with at most 2 decimals");
+        checkPhone(report, phone);
+        if (programme.isEmpty()) report.add("Programme", "is required");
+        LocalDate dateAdded = parseDate(data[7]);
+        if (dateAdded == null) report.add("Date Added", "must be a real date in yyyy-MM-dd form");
+
+        if (report.isValid()) {
+            report.student = new Student(id, name, email, level, gpa, phone, programme, dateAdded, Student.statusFor(gpa));
+        }
+        return report;
+    }
+
+    // Fields the Students view lets the user type in
+    public static Report validateForm(String id, String name, String gpaText, String phone) {
+        Report report = new Report(0);
+        checkId(report, id == null ? "" : id.trim());
+        checkName(report, name == null ? "" : name.trim());
+        if (Double.isNaN(parseGpa(gpaText))) report.add("GPA", "must be a number between 0.0 and 4.0 with at most 2 decimals");
+        checkPhone(report, phone == null ? "" : phone.trim());
+        return report;
+    }
+
+    private static void checkId(Report report, String id) {
+        if (!ID_PATTERN.matcher(id).matches()) report.add("Student ID", "must be 6-12 digits, optionally followed by a letter");
+    }
+
+    private static void checkName(Report report, String name) {
+        if (name.isEmpty()) report.add("Name", "is required");
+    }
+
+    private static void checkPhone(Report report, String phone) {
+        if (!PHONE_PATTERN.matcher(phone).matches()) report.add("Phone", "must be 9-16 digits, optionally starting with + and separated by single spaces or hyphens");
+    }
+
+    // --- EXCEPTION-FREE PARSERS ---
+
+    /** Returns the level, or INVALID_LEVEL unless it is one of 100..700 in steps of 100. */
+    public static int parseLevel(String text) {
+        if (text == null) return INVALID_LEVEL;
+        int start = skipLeading(text), end = skipTrailing(text, start);
+        if (end - start != 3) return INVALID_LEVEL;
+        char hundreds = text.charAt(start);
+        if (hundreds < '1' || hundreds > '7' || text.charAt(start + 1) != '0' || text.charAt(start + 2) != '0') {
+            return INVALID_LEVEL;
+        }
+        return (hundreds - '0') * 100;
+    }
+
+    /** Returns the GPA, or NaN if the text is not a plain decimal within 0.0..4.0 with at most two decimals. */
+    public static double parseGpa(String text) {
+        if (text == null) return Double.NaN;
+        int start = skipLeading(text), end = skipTrailing(text, start);
+        if (start == end || end - start > 8) return Double.NaN;
+
+        long digits = 0;
+        int scale = 0;
+        boolean seenDot = false, seenDigit = false;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = digits * 10 + (c - '0');
+                if (seenDot && ++scale > GPA_DECIMALS) return Double.NaN;
+                seenDigit = true;
+            } else if (c == '.' && !seenDot) {
+                seenDot = true;
+            } else {
+                return Double.NaN;
+            }
+        }
+        if (!seenDigit) return Double.NaN;
+
+        double value = digits / Math.pow(10, scale);
+        return value <= 4.0 ? value : Double.NaN;
+    }
+
+    /** Returns the date for yyyy-MM-dd text, or null if it is malformed or not a real calendar day. */
+    public static LocalDate parseDate(String text) {
+        if (text == null) return null;
+        int start = skipLeading(text), end = skipTrailing(text, start);
+        if (end - start != 10 || text.charAt(start + 4) != '-' || text.charAt(start + 7) != '-') return null;
+
+        int year = digitsAt(text, start, 4);
+        int month = digitsAt(text, start + 5, 2);
+        int day = digitsAt(text, start + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1) return null;
+        if (day > Month.of(month).length(Year.isLeap(year))) return null;
+        return LocalDate.of(year, month, day);
+    }
+
+    private static int digitsAt(String text, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int skipLeading(String text) {
+        int i = 0;
+        while (i < text.length() && text.charAt(i) <= ' ') i++;
+        return i;
+    }
+
+    private static int skipTrailing(String text, int start) {
+        int end = text.length();
+        while (end > start && text.charAt(end - 1) <= ' ') end--;
+        return end;
+    }
+}
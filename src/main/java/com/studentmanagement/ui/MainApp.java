@@ -1,5 +1,6 @@
 package com.studentmanagement.ui;
 
+import com.studentmanagement.repository.DatabaseBackup;
 import com.studentmanagement.repository.DatabaseConnection;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -21,6 +22,7 @@ public class MainApp extends Application {
         try {
             // 1. Initialize the Database Connection first
             DatabaseConnection.initializeDatabase();
+            DatabaseBackup.startScheduledBackups();
 
             // 2. Load the MainShell (The window with the BorderPane/rootPane)
             // Path matches the 'switchTo' logic in your Controller
@@ -52,6 +54,12 @@ public class MainApp extends Application {
 
     }
 
+    @Override
+    public void stop() {
+        DatabaseBackup.shutdown();
+        DatabaseConnection.closeConnections();
+    }
+
     public static void main(String[] args) {
         // Launches the JavaFX Application
         launch(args);
@@ -1,13 +1,13 @@
 package com.studentmanagement.ui;
 
-import com.studentmanagement.domain.Student;
+import com.studentmanagement.domain.StudentSummary;
+import com.studentmanagement.service.ConfigService;
 import com.studentmanagement.service.StudentService;
 import javafx.fxml.FXML;
 import javafx.scene.chart.BarChart;
 import javafx.scene.chart.PieChart;
 import javafx.scene.chart.XYChart;
 import javafx.scene.control.Label;
-import java.util.List;
 
 public class ReportsController {
     @FXML private PieChart gpaDistributionChart;
@@ -19,37 +19,38 @@ public class ReportsController {
     @FXML
     public void initialize() {
         try {
-            List<Student> students = service.getAllStudents();
-            updateSummary(students);
-            loadPieChart(students);
-            loadBarChart(students);
+            // Reads the pre-aggregated summary tables instead of every student row
+            StudentSummary summary = service.getSummary();
+            updateSummary(summary);
+            loadPieChart(summary);
+            loadBarChart(summary);
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
-    private void updateSummary(List<Student> students) {
-        lblTotalStudents.setText(String.valueOf(students.size()));
-        double avg = students.stream().mapToDouble(Student::getGpa).average().orElse(0.0);
-        lblAvgGpa.setText(String.format("%.2f", avg));
+    private void updateSummary(StudentSummary summary) {
+        lblTotalStudents.setText(String.valueOf(summary.getTotal()));
+        lblAvgGpa.setText(String.format("%.2f", summary.getAverageGpa()));
     }
 
-    private void loadPieChart(List<Student> students) {
-        long excellent = students.stream().filter(s -> s.getGpa() >= 3.5).count();
-        long atRisk = students.stream().filter(s -> s.getGpa() < 1.5).count();
-        long average = students.size() - (excellent + atRisk);
+    private void loadPieChart(StudentSummary summary) {
+        ConfigService.Snapshot config = ConfigService.getInstance().current();
+        long excellent = summary.countGpaAtLeast(config.excellentThreshold());
+        long atRisk = summary.countGpaBelow(config.atRiskThreshold());
+        long average = summary.getTotal() - (excellent + atRisk);
 
         gpaDistributionChart.getData().add(new PieChart.Data("Excellent", excellent));
         gpaDistributionChart.getData().add(new PieChart.Data("Average", average));
         gpaDistributionChart.getData().add(new PieChart.Data("At Risk", atRisk));
     }
 
-    private void loadBarChart(List<Student> students) {
+    private void loadBarChart(StudentSummary summary) {
         XYChart.Series<String, Number> series = new XYChart.Series<>();
         series.setName("Students per Level");
 
         // Example: Counting Level 100 students
-        long level100 = students.stream().filter(s -> s.getLevel() == 100).count();
+        long level100 = summary.countByLevel(100);
         series.getData().add(new XYChart.Data<>("Level 100", level100));
 
         levelBarChart.getData().add(series);
@@ -0,0 +1,102 @@
+package com.studentmanagement.ui;
+
+import com.studentmanagement.domain.Student;
+import com.studentmanagement.service.StudentChangeEvent;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Applies StudentChangeFeed events to an ObservableList as small deltas.
+ * Events from any thread are coalesced per student ID and applied by a single
+ * queued Platform.runLater task; everything that arrives before that task runs
+ * joins the same batch. A bulk import therefore becomes a few addAll calls
+ * instead of a full reload, and the FilteredList/TableView only re-render the
+ * rows that actually changed. Row positions are tracked per ID and adjusted
+ * from the list's own change events, so a batch of inserts or edits costs
+ * O(batch) on the FX thread rather than a pass over the whole roster.
+ */
+class StudentListUpdater implements Consumer<StudentChangeEvent> {
+    private final ObservableList<Student> target;
+
+    // Latest event per ID, in arrival order; guarded by 'this'
+    private Map<String, StudentChangeEvent> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+
+    // ID -> index in target; only touched on the FX thread, where the list is modified
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    StudentListUpdater(ObservableList<Student> target) {
+        this.target = target;
+        reindex(0, target.size());
+        target.addListener(this::onListChanged);
+    }
+
+    @Override
+    public synchronized void accept(StudentChangeEvent event) {
+        // Last write wins: inserts and updates are applied as upserts, so only the final state matters
+        pending.put(event.studentId(), event);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Platform.runLater(this::flush);
+        }
+    }
+
+    private void flush() {
+        Map<String, StudentChangeEvent> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            flushScheduled = false;
+        }
+
+        List<Student> added = new ArrayList<>();
+        Set<Student> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (StudentChangeEvent event : batch.values()) {
+            Integer index = positions.get(event.studentId());
+            if (event.type() == StudentChangeEvent.Type.DELETE) {
+                if (index != null) removed.add(target.get(index));
+            } else if (index != null) {
+                target.set(index, event.student()); // Fires a single replace for that row
+            } else {
+                added.add(event.student());
+            }
+        }
+
+        // Batched so each becomes one list change rather than one per row
+        if (!removed.isEmpty()) target.removeAll(removed);
+        if (!added.isEmpty()) target.addAll(added);
+    }
+
+    // Covers every change to the list, including setAll on a full reload and table sorting.
+    // Appends and in-place replacements re-index only their own rows; a removal shifts everything after it.
+    private void onListChanged(ListChangeListener.Change<? extends Student> change) {
+        int from = Integer.MAX_VALUE, to = 0;
+        while (change.next()) {
+            for (Student removed : change.getRemoved()) {
+                positions.remove(removed.getStudentId());
+            }
+            boolean sameSize = change.wasPermutated() || change.wasUpdated()
+                    || change.getAddedSize() == change.getRemovedSize();
+            from = Math.min(from, change.getFrom());
+            to = Math.max(to, sameSize ? change.getTo() : target.size());
+        }
+        reindex(from, to);
+    }
+
+    private void reindex(int from, int to) {
+        for (int i = from; i < to; i++) {
+            positions.put(target.get(i).getStudentId(), i);
+        }
+    }
+}
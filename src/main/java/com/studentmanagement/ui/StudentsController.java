@@ -1,7 +1,12 @@
 package com.studentmanagement.ui;
 
 import com.studentmanagement.domain.Student;
+import com.studentmanagement.domain.StudentSummary;
+import com.studentmanagement.repository.DatabaseBackup;
+import com.studentmanagement.service.ConfigService;
+import com.studentmanagement.service.StudentChangeFeed;
 import com.studentmanagement.service.StudentService;
+import com.studentmanagement.service.StudentValidator;
 import javafx.animation.FadeTransition;
 import javafx.animation.RotateTransition;
 import javafx.application.Platform;
@@ -32,8 +37,9 @@ import java.io.*;
 import java.net.URL;
 import java.sql.SQLException;
 import java.util.List;
-import java.util.Properties;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 public class StudentsController implements Initializable {
@@ -63,22 +69,35 @@ public class StudentsController implements Initializable {
     // --- LOGIC FIELDS ---
     private final StudentService studentService = new StudentService();
     private static ObservableList<Student> studentList = FXCollections.observableArrayList();
-    private static double atRiskThreshold = 2.0;
-    private static double excellentThreshold = 3.5;
+    private static final ConfigService config = ConfigService.getInstance();
+
+    // The view currently on screen; refreshed whenever the thresholds change
+    private static StudentsController activeView;
+    private static boolean studentsLoaded;
+
+    static {
+        // Saved changes from any view or thread flow into the shared list as deltas
+        StudentChangeFeed.subscribe(new StudentListUpdater(studentList));
+        config.addListener(updated -> Platform.runLater(() -> {
+            if (activeView != null) activeView.applyConfig();
+        }));
+    }
 
     @Override
     public void initialize(URL location, ResourceBundle resources) {
-        loadThresholdFromFile();
-
         if (rootPane != null) {
             staticRootPane = rootPane;
         }
+        if (studentTable != null || totalCountLabel != null || atRiskThresholdInput != null) {
+            activeView = this;
+        }
 
         // --- CRITICAL FIX: NULL CHECKS ---
         // We check if studentTable is null before running setup to avoid NullPointerException
         if (studentTable != null) {
             setupTable();
-            loadData();
+            // After the first load the change feed keeps the shared list current
+            if (!studentsLoaded) loadData();
             setupSearchFiltering();
 
             studentTable.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
@@ -97,8 +116,7 @@ public class StudentsController implements Initializable {
         }
 
         if (atRiskThresholdInput != null) {
-            atRiskThresholdInput.setText(String.valueOf(atRiskThreshold));
-            excellentThresholdInput.setText(String.valueOf(excellentThreshold));
+            showThresholds();
         }
 
         if (mainCanvas != null) {
@@ -134,8 +152,8 @@ public class StudentsController implements Initializable {
                         setStyle("");
                     } else {
                         Student s = getTableRow().getItem();
-                        // This uses the threshold from your settings page
-                        if (s.getGpa() < atRiskThreshold) {
+                        // Same at-risk threshold from the settings page that the dashboard counts use
+                        if ("Inactive".equals(Student.statusFor(s.getGpa()))) {
                             setText("Inactive");
                             setStyle("-fx-background-color: #f8d7da; -fx-text-fill: #721c24; -fx-alignment: center; -fx-font-weight: bold; -fx-background-radius: 5;");
                         } else {
@@ -177,22 +195,20 @@ public class StudentsController implements Initializable {
     // --- UPDATED ADD STUDENT LOGIC ---
     @FXML
     public void handleAddStudent() {
+        if (!validateInputs()) return;
         try {
             // Use the new constructor we just built
             Student newStudent = new Student(
-                    idInput.getText(),
-                    nameInput.getText(),
+                    idInput.getText().trim(),
+                    nameInput.getText().trim(),
                     "Electrical Engineering",
                     100,
-                    Double.parseDouble(gpaInput.getText()),
-                    phoneInput.getText() // User-entered phone number
+                    StudentValidator.parseGpa(gpaInput.getText()),
+                    phoneInput.getText().trim() // User-entered phone number
             );
 
-            // Save to DB and refresh UI
+            // Save to DB; the change feed adds the row to the table
             studentService.saveStudent(newStudent);
-            studentList.add(newStudent);
-
-            studentTable.refresh(); // This triggers the status colors
             updateDashboard();
             clearFields();
 
@@ -210,25 +226,24 @@ public class StudentsController implements Initializable {
                 showAlert("No Selection", "Please select a student from the table.", Alert.AlertType.WARNING);
                 return;
             }
+            if (!validateInputs()) return;
 
             // 1. Update the Object with new UI values
-            selected.setFullName(nameInput.getText());
-            selected.setGpa(Double.parseDouble(gpaInput.getText()));
-            selected.setPhoneNumber(phoneInput.getText()); // This fixes the phone link!
+            selected.setFullName(nameInput.getText().trim());
+            selected.setGpa(StudentValidator.parseGpa(gpaInput.getText()));
+            selected.setPhoneNumber(phoneInput.getText().trim()); // This fixes the phone link!
 
             // 2. The status is auto-calculated in the Student class based on new GPA
 
             // 3. Save to Database
             studentService.modifyStudent(selected);
 
-            // 4. Refresh UI
+            // 4. Refresh UI; the row was edited in place, so cells need an explicit redraw
             studentTable.refresh();
             updateDashboard();
             clearFields();
             showAlert("Success", "Student record updated successfully!", Alert.AlertType.INFORMATION);
 
-        } catch (NumberFormatException e) {
-            showAlert("Input Error", "Please check the GPA format.", Alert.AlertType.ERROR);
         } catch (Exception e) {
             showAlert("Update Error", e.getMessage(), Alert.AlertType.ERROR);
         }
@@ -240,7 +255,6 @@ public class StudentsController implements Initializable {
         if (selected == null) return;
         try {
             studentService.removeStudent(selected.getStudentId());
-            studentList.remove(selected);
             updateDashboard();
         } catch (Exception e) {
             showAlert("Error", "Delete failed", Alert.AlertType.ERROR);
@@ -250,12 +264,13 @@ public class StudentsController implements Initializable {
     @FXML
     public void updateDashboard() {
         try {
-            List<Student> students = studentService.getAllStudents();
-            if (students == null || students.isEmpty()) return;
+            // Summary tables are kept current by triggers, so this never scans the students table
+            StudentSummary summary = studentService.getSummary();
+            long total = summary.getTotal();
+            if (total == 0) return;
 
-            long total = students.size();
-            long inactive = students.stream().filter(s -> s.getGpa() < atRiskThreshold).count();
-            double avg = students.stream().mapToDouble(Student::getGpa).average().orElse(0.0);
+            long inactive = summary.countGpaBelow(config.current().atRiskThreshold());
+            double avg = summary.getAverageGpa();
 
             Platform.runLater(() -> {
                 totalCountLabel.setText(String.valueOf(total));
@@ -277,21 +292,52 @@ public class StudentsController implements Initializable {
     @FXML
     public void saveSettings() {
         try {
-            atRiskThreshold = Double.parseDouble(atRiskThresholdInput.getText());
-            saveThresholdToFile(atRiskThreshold);
-
-            // CRITICAL FIX: Only refresh if the table is actually loaded in this view
-            if (studentTable != null) {
-                studentTable.refresh();
-            }
+            config.save(new ConfigService.Snapshot(
+                    Double.parseDouble(atRiskThresholdInput.getText()),
+                    Double.parseDouble(excellentThresholdInput.getText())));
+            // Open views pick up the new values through the config listener
 
             showAlert("Success", "Settings Saved!", Alert.AlertType.INFORMATION);
         } catch (NumberFormatException e) {
             // Fixes "Invalid threshold" error from image_439037.png
             showAlert("Error", "Please enter a valid numeric threshold.", Alert.AlertType.ERROR);
+        } catch (IllegalArgumentException e) {
+            showAlert("Error", e.getMessage(), Alert.AlertType.ERROR);
+        } catch (IOException e) {
+            showAlert("Error", "Could not save config: " + e.getMessage(), Alert.AlertType.ERROR);
         }
     }
 
+    @FXML
+    public void handleBackupNow() {
+        // The copy runs on the backup thread; only the result is handed back to the FX thread
+        DatabaseBackup.backupNow().whenComplete((target, error) -> Platform.runLater(() -> {
+            if (error == null) {
+                showAlert("Success", "Backup saved to " + target, Alert.AlertType.INFORMATION);
+            } else {
+                showAlert("Error", "Backup failed: " + error.getCause().getMessage(), Alert.AlertType.ERROR);
+            }
+        }));
+    }
+
+    @FXML
+    public void handleRebuildSummaries() {
+        // Full recompute of the summary tables; kept off the FX thread for large databases
+        CompletableFuture.runAsync(() -> {
+            try {
+                studentService.rebuildSummaries();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }).whenComplete((ok, error) -> Platform.runLater(() -> {
+            if (error == null) {
+                showAlert("Success", "Summary tables rebuilt.", Alert.AlertType.INFORMATION);
+            } else {
+                showAlert("Error", "Rebuild failed: " + error.getCause().getMessage(), Alert.AlertType.ERROR);
+            }
+        }));
+    }
+
     @FXML
     public void handleOpenReports(ActionEvent event) { // Fixes Symbol Error
         try {
@@ -326,9 +372,19 @@ public class StudentsController implements Initializable {
         FileChooser fc = new FileChooser();
         File file = fc.showOpenDialog(null);
         if (file != null) {
-            // Logic to parse and add to DB
-            loadData();
-            showAlert("Success", "Import Complete", Alert.AlertType.INFORMATION);
+            // Rows are validated before insert; rejected ones come back in the summary.
+            // Runs off the FX thread; the table fills in through the change feed meanwhile
+            CompletableFuture.supplyAsync(() -> studentService.importFromCSV(file))
+                    .whenComplete((summary, error) -> {
+                        updateDashboard(); // Reads the summary here and posts the labels to the FX thread itself
+                        Platform.runLater(() -> {
+                            if (error == null) {
+                                showAlert("Import Complete", summary, Alert.AlertType.INFORMATION);
+                            } else {
+                                showAlert("Error", "Import failed: " + error.getCause().getMessage(), Alert.AlertType.ERROR);
+                            }
+                        });
+                    });
         }
     }
 
@@ -336,6 +392,7 @@ public class StudentsController implements Initializable {
     private void loadData() {
         try {
             studentList.setAll(studentService.getAllStudents());
+            studentsLoaded = true;
             studentTable.setItems(studentList);
         } catch (Exception e) { e.printStackTrace(); }
     }
@@ -349,6 +406,17 @@ public class StudentsController implements Initializable {
         });
         studentTable.setItems(filtered);
     }
+    // Checks the editor fields before anything is sent to the database
+    private boolean validateInputs() {
+        StudentValidator.Report report = StudentValidator.validateForm(
+                idInput.getText(), nameInput.getText(), gpaInput.getText(), phoneInput.getText());
+        if (!report.isValid()) {
+            showAlert("Input Error", report.describe(), Alert.AlertType.WARNING);
+            return false;
+        }
+        return true;
+    }
+
     private void clearFields() {
         idInput.clear();
         nameInput.clear();
@@ -365,20 +433,17 @@ public class StudentsController implements Initializable {
         alert.showAndWait();
     }
 
-    private void saveThresholdToFile(double threshold) {
-        Properties props = new Properties();
-        props.setProperty("atRiskThreshold", String.valueOf(threshold));
-        try (OutputStream out = new FileOutputStream("config.properties")) {
-            props.store(out, null);
-        } catch (IOException e) { System.err.println("Could not save config"); }
+    private void showThresholds() {
+        ConfigService.Snapshot current = config.current();
+        atRiskThresholdInput.setText(String.valueOf(current.atRiskThreshold()));
+        excellentThresholdInput.setText(String.valueOf(current.excellentThreshold()));
     }
 
-    private void loadThresholdFromFile() {
-        Properties props = new Properties();
-        try (InputStream in = new FileInputStream("config.properties")) {
-            props.load(in);
-            atRiskThreshold = Double.parseDouble(props.getProperty("atRiskThreshold", "2.0"));
-        } catch (IOException e) { atRiskThreshold = 2.0; }
+    // Runs on the FX thread after config.properties changes (from Settings or an external edit)
+    private void applyConfig() {
+        if (studentTable != null) studentTable.refresh();
+        if (totalCountLabel != null) updateDashboard();
+        if (atRiskThresholdInput != null) showThresholds();
     }
     @FXML
     private void handleRefresh() { // Must match the fx:id in FXML
@@ -0,0 +1,87 @@
+package com.studentmanagement.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Retained heap per Student for a large roster, compared with the original
+ * one-field-per-column layout. Strings are created fresh for every row, the
+ * way a JDBC ResultSet returns them.
+ *
+ * Run after "mvn test-compile":
+ *   java -XX:+UseSerialGC -Xmx2g -cp target/classes:target/test-classes \
+ *        com.studentmanagement.domain.StudentHeapBenchmark [baseline|compact] [count]
+ * Run each layout in its own JVM so one does not skew the other.
+ */
+public class StudentHeapBenchmark {
+    private static final String[] PROGRAMMES = {
+            "Electrical/Electronic Engineering", "Computer Science", "Mechanical Engineering", "Civil Engineering"};
+
+    // The Student fields as they were before the compact layout
+    @SuppressWarnings("unused")
+    static class BaselineStudent {
+        private final String studentId;
+        private final String fullName;
+        private final String email;
+        private final int level;
+        private final double gpa;
+        private final String phoneNumber;
+        private final String programme;
+        private final LocalDate dateAdded;
+        private final String status;
+
+        BaselineStudent(String studentId, String fullName, String email, int level,
+                        double gpa, String phoneNumber, String programme, LocalDate dateAdded, String status) {
+            this.studentId = studentId;
+            this.fullName = fullName;
+            this.email = email;
+            this.level = level;
+            this.gpa = gpa;
+            this.phoneNumber = phoneNumber;
+            this.programme = programme;
+            this.dateAdded = dateAdded;
+            this.status = status;
+        }
+    }
+
+    public static void main(String[] args) {
+        boolean compact = args.length == 0 || !args[0].equals("baseline");
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        Object[] roster = new Object[count];
+        LocalDate firstDay = LocalDate.of(2024, 1, 1);
+        long before = usedAfterGc();
+        for (int i = 0; i < count; i++) {
+            String id = new String("0122" + (1_000_000 + i) + "B");
+            String name = new String("Student Number" + i);
+            String email = new String("student.number" + i + "@school.edu");
+            String phone = new String("0241" + (100_000 + i));
+            String programme = new String(PROGRAMMES[i % PROGRAMMES.length]);
+            double gpa = (i % 400) / 100.0;
+            String status = new String(gpa < 2.0 ? "Inactive" : "Active");
+            LocalDate added = firstDay.plusDays(i % 700);
+            int level = 100 * (1 + i % 4);
+
+            roster[i] = compact
+                    ? new Student(id, name, email, level, gpa, phone, programme, added, status)
+                    : new BaselineStudent(id, name, email, level, gpa, phone, programme, added, status);
+        }
+        long after = usedAfterGc();
+
+        System.out.printf("%s, %,d students: %.1f MB retained (%d bytes per student)%n",
+                compact ? "compact" : "baseline", count, (after - before) / 1e6, (after - before) / count);
+        if (roster[count - 1] == null) throw new AssertionError(); // Keep the roster reachable until measured
+    }
+
+    private static long usedAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,120 @@
+package com.studentmanagement.repository;
+
+import com.studentmanagement.domain.Student;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the old load path (a new connection per call, SELECT *, columns
+ * looked up by name) with StatementCache + StudentRowMapper on a throwaway
+ * database. Reports time and bytes allocated per call on the calling thread.
+ *
+ * Run after "mvn test-compile":
+ *   java -cp target/classes:target/test-classes:$(cat cp.txt) \
+ *        com.studentmanagement.repository.FullLoadBenchmark [rows]
+ * where cp.txt comes from "mvn dependency:build-classpath -Dmdep.outputFile=cp.txt".
+ */
+public class FullLoadBenchmark {
+    private static final int WARMUP = 15;
+    private static final int RUNS = 30;
+    private static final int LOOKUPS = 2_000;
+    private static final String[] PROGRAMMES = {"Computer Science", "Mathematics", "Physics", "Economics"};
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @FunctionalInterface
+    private interface Load {
+        int run() throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        Path dir = Files.createTempDirectory("sms-bench");
+        String url = "jdbc:sqlite:" + dir.resolve("bench.db");
+
+        DatabaseConnection.initializeDatabase(url);
+        StudentRepository repository = new StudentRepository(url);
+        List<Student> seed = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Student s = new Student(String.format("%09d", i), "Student " + i, PROGRAMMES[i % PROGRAMMES.length],
+                    100 * (1 + i % 4), (i % 401) / 100.0, "0241234567");
+            s.setDateAdded(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+            seed.add(s);
+        }
+        repository.addStudents(seed);
+        System.out.printf("%,d rows, %d warm-up + %d measured runs%n%n", rows, WARMUP, RUNS);
+
+        measure("full load, before (connect + SELECT * + getX(name))", rows, () -> loadByName(url).size());
+        measure("full load, after  (cached statement + getX(index))", rows, () -> repository.getAllStudents().size());
+        measure("2,000 findStudent, before (connect + prepare each)", LOOKUPS, () -> findEachByName(url, rows));
+        measure("2,000 findStudent, after  (cached statement)", LOOKUPS, () -> findEach(repository, rows));
+
+        DatabaseConnection.closeConnections();
+    }
+
+    private static void measure(String label, int perRun, Load load) throws SQLException {
+        for (int i = 0; i < WARMUP; i++) load.run();
+        long thread = Thread.currentThread().threadId();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) load.run();
+        long nanos = System.nanoTime() - start;
+        long bytes = THREADS.getThreadAllocatedBytes(thread) - bytesBefore;
+        System.out.printf("%-55s %8.2f ms/run %8.0f bytes/item%n",
+                label, nanos / 1e6 / RUNS, (double) bytes / RUNS / perRun);
+    }
+
+    // The pre-cache getAllStudents, kept here only as the baseline
+    private static List<Student> loadByName(String url) throws SQLException {
+        List<Student> students = new ArrayList<>();
+        try (Connection conn = DatabaseConnection.getConnection(url);
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM students")) {
+            while (rs.next()) {
+                students.add(new Student(
+                        rs.getString("student_id"),
+                        rs.getString("full_name"),
+                        rs.getString("email"),
+                        rs.getInt("level"),
+                        rs.getDouble("gpa"),
+                        rs.getString("phone_number"),
+                        rs.getString("programme"),
+                        LocalDate.parse(rs.getString("date_added")),
+                        rs.getString("status")));
+            }
+        }
+        return students;
+    }
+
+    private static int findEachByName(String url, int rows) throws SQLException {
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            try (Connection conn = DatabaseConnection.getConnection(url);
+                 PreparedStatement ps = conn.prepareStatement("SELECT * FROM students WHERE student_id = ?")) {
+                ps.setString(1, String.format("%09d", (i * 7919) % rows));
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next() && rs.getString("student_id") != null) found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int findEach(StudentRepository repository, int rows) throws SQLException {
+        int found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (repository.findStudent(String.format("%09d", (i * 7919) % rows)) != null) found++;
+        }
+        return found;
+    }
+}